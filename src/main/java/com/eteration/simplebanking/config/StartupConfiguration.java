@@ -0,0 +1,40 @@
+package com.eteration.simplebanking.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * The {@code StartupConfiguration} class tunes application startup.
+ *
+ * <p>When {@code spring.main.lazy-initialization} is enabled (prod profile), schema migration and the
+ * entity manager factory are still created eagerly so that migrations are applied and the schema is
+ * validated before the application reports itself ready, and the first request does not pay for
+ * Hibernate bootstrap.
+ *
+ * <p>Setting {@code startup.exit-after-ready=true} stops the application as soon as it is ready; this is
+ * used by the {@code cdsArchive} Gradle task to record the classes loaded during startup.
+ */
+@Configuration
+public class StartupConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class,
+                EntityManagerFactory.class, AbstractEntityManagerFactoryBean.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty("startup.exit-after-ready")
+    ApplicationListener<ApplicationReadyEvent> exitAfterReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -5,6 +5,9 @@ import com.eteration.simplebanking.payloads.AccountResponse;
 import com.eteration.simplebanking.services.AccountNotFoundException;
 import com.eteration.simplebanking.services.AccountService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -113,15 +116,60 @@ public class AccountController {
     /**
      * Handles HTTP GET requests for retrieving account details.
      *
+     * <p>The response carries a strong ETag derived from the account version. If the client's
+     * {@code If-None-Match} matches the current version, {@code 304 Not Modified} is returned after a single
+     * version lookup, without loading the account or its transactions.
+     *
      * @param accountNumber The account number to retrieve details for.
-     * @return A {@code ResponseEntity} with the account details.
+     * @param ifNoneMatch   The {@code If-None-Match} request header, if any.
+     * @return A {@code ResponseEntity} with the account details, or {@code 304 Not Modified}.
      * @throws AccountNotFoundException If the specified account is not found.
      */
     @GetMapping(value = "/{accountNumber}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<AccountResponse> getAccount(@PathVariable("accountNumber") String accountNumber) throws AccountNotFoundException {
+    public ResponseEntity<AccountResponse> getAccount(@PathVariable("accountNumber") String accountNumber,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws AccountNotFoundException {
+        if (ifNoneMatch != null) {
+            String currentETag = eTag(accountService.findVersion(accountNumber));
+            if (matches(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+        }
         Account account = accountService.findAccount(accountNumber);
         AccountResponse result = accountService.getAccount(account);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().eTag(eTag(account.getVersion())).body(result);
+    }
+
+    /**
+     * Handles concurrent postings to the same account. The account version makes the later of two concurrent
+     * postings fail on commit; it is rejected with {@code 409 Conflict} so the client can retry it.
+     *
+     * @param e The optimistic locking failure.
+     * @return A {@code ResponseEntity} with a {@code CONFLICT} transaction status.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<TransactionStatus> handleConcurrentPosting(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(TransactionStatus.builder().status("CONFLICT").build());
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against the current ETag using weak comparison, as required
+     * for this header.
+     */
+    private static boolean matches(String ifNoneMatch, String currentETag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
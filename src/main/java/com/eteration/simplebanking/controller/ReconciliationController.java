@@ -0,0 +1,57 @@
+package com.eteration.simplebanking.controller;
+
+import com.eteration.simplebanking.payloads.ReconciliationReport;
+import com.eteration.simplebanking.services.ReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The {@code ReconciliationController} class exposes the balance reconciliation job over HTTP.
+ *
+ * <p>Dependencies:
+ * - {@link ReconciliationService}: Runs the reconciliation and tracks its progress.
+ */
+@RestController
+@RequestMapping("/reconciliation/v1/")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    /**
+     * Constructs a {@code ReconciliationController} with the specified reconciliation service.
+     *
+     * @param reconciliationService The service running the reconciliation job.
+     */
+    @Autowired
+    public ReconciliationController(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    /**
+     * Handles HTTP POST requests for starting a reconciliation run in the background.
+     *
+     * @return A {@code ResponseEntity} with the current report; {@code 202 Accepted} if a run was started,
+     * {@code 409 Conflict} if one is already in progress.
+     */
+    @PostMapping(value = "/run", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReconciliationReport> run() {
+        HttpStatus status = reconciliationService.start() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(reconciliationService.getReport());
+    }
+
+    /**
+     * Handles HTTP GET requests for the progress of the current run or the result of the last one.
+     *
+     * @return A {@code ResponseEntity} with the reconciliation report.
+     */
+    @GetMapping(value = "/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReconciliationReport> status() {
+        return ResponseEntity.ok(reconciliationService.getReport());
+    }
+}
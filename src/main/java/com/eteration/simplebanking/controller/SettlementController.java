@@ -0,0 +1,63 @@
+package com.eteration.simplebanking.controller;
+
+import com.eteration.simplebanking.payloads.SettlementReport;
+import com.eteration.simplebanking.services.SettlementService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * The {@code SettlementController} class exposes the payee settlement export over HTTP.
+ *
+ * <p>Dependencies:
+ * - {@link SettlementService}: Runs the settlement export and tracks its progress.
+ */
+@RestController
+@RequestMapping("/settlement/v1/")
+public class SettlementController {
+
+    private final SettlementService settlementService;
+
+    /**
+     * Constructs a {@code SettlementController} with the specified settlement service.
+     *
+     * @param settlementService The service running the settlement export.
+     */
+    @Autowired
+    public SettlementController(SettlementService settlementService) {
+        this.settlementService = settlementService;
+    }
+
+    /**
+     * Handles HTTP POST requests for settling the bill payments of a day in the background.
+     * An interrupted run for the same day resumes from its checkpoint.
+     *
+     * @param date The day to settle, in ISO format (yyyy-MM-dd).
+     * @return A {@code ResponseEntity} with the current report; {@code 202 Accepted} if a run was started,
+     * {@code 409 Conflict} if one is already in progress.
+     */
+    @PostMapping(value = "/run/{date}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SettlementReport> run(@PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        HttpStatus status = settlementService.start(date) ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(settlementService.getReport());
+    }
+
+    /**
+     * Handles HTTP GET requests for the progress of the current run or the result of the last one.
+     *
+     * @return A {@code ResponseEntity} with the settlement report.
+     */
+    @GetMapping(value = "/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SettlementReport> status() {
+        return ResponseEntity.ok(settlementService.getReport());
+    }
+}
@@ -34,6 +34,11 @@ public class Account {
     @CreationTimestamp
     private LocalDateTime createdDate;
 
+    // The default lets ddl-auto=update add the column to a populated table; migration V4 does the same.
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "int8 not null default 0")
+    private long version;
+
 
     @OneToMany(mappedBy = "account", fetch = FetchType.LAZY)
     private Set<Transaction> transactions = new HashSet<>();
@@ -0,0 +1,13 @@
+package com.eteration.simplebanking.payloads;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BalanceDiscrepancy {
+    private String accountNumber;
+    private double balance;
+    private double transactionTotal;
+    private double difference;
+}
@@ -0,0 +1,20 @@
+package com.eteration.simplebanking.payloads;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class ReconciliationReport {
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long accountsScanned;
+    private long transactionsScanned;
+    private double rowsPerSecond;
+    private long discrepancyCount;
+    private List<BalanceDiscrepancy> discrepancies;
+}
@@ -0,0 +1,21 @@
+package com.eteration.simplebanking.payloads;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class SettlementReport {
+    private String status;
+    private LocalDate settlementDate;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private boolean resumed;
+    private long rowsProcessed;
+    private double rowsPerSecond;
+    private int payeeCount;
+    private String file;
+}
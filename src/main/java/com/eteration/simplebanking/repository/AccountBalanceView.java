@@ -0,0 +1,13 @@
+package com.eteration.simplebanking.repository;
+
+/**
+ * Read-only projection of an {@link com.eteration.simplebanking.model.Account} row
+ * carrying only the columns needed for balance reconciliation.
+ */
+public interface AccountBalanceView {
+    Long getId();
+
+    String getAccountNumber();
+
+    double getBalance();
+}
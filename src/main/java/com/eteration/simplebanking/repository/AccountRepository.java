@@ -1,12 +1,29 @@
 package com.eteration.simplebanking.repository;
 
 import com.eteration.simplebanking.model.Account;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
+
+    @Query("select a.version from Account a where a.accountNumber = :accountNumber")
+    Optional<Long> findVersionByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Keyset page of account balances ordered by id, starting after {@code lastId}.
+     */
+    @Query("select a.id as id, a.accountNumber as accountNumber, a.balance as balance " +
+            "from Account a where a.id > :lastId order by a.id")
+    List<AccountBalanceView> findBalancesAfter(@Param("lastId") long lastId, Pageable pageable);
+
+    @Query("select a.balance from Account a where a.id = :id")
+    double findBalanceById(@Param("id") Long id);
 }
@@ -0,0 +1,15 @@
+package com.eteration.simplebanking.repository;
+
+/**
+ * Read-only projection of a {@link com.eteration.simplebanking.model.Transaction} row
+ * carrying only the columns needed for balance reconciliation.
+ */
+public interface TransactionAmountView {
+    Long getId();
+
+    Long getAccountId();
+
+    double getAmount();
+
+    String getTransactionType();
+}
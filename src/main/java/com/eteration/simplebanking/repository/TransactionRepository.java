@@ -2,9 +2,32 @@ package com.eteration.simplebanking.repository;
 
 import com.eteration.simplebanking.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findAllByAccountId(Long accountId);
-}
\ No newline at end of file
+
+    /**
+     * Keyset page of transaction amounts ordered by {@code (account id, id)}, starting after the given position.
+     * The row comparison lets the scan start at the cursor in {@code idx_transaction_account_id}.
+     */
+    @Query(value = "select t.id as \"id\", t.account_id as \"accountId\", t.amount as \"amount\", " +
+            "t.transaction_type as \"transactionType\" " +
+            "from transaction t " +
+            "where (t.account_id, t.id) > (:accountId, :lastId) " +
+            "order by t.account_id, t.id " +
+            "limit :limit", nativeQuery = true)
+    List<TransactionAmountView> findAmountsAfter(@Param("accountId") long accountId,
+                                                 @Param("lastId") long lastId,
+                                                 @Param("limit") int limit);
+
+    /**
+     * Net effect of all transactions of an account: deposits add, every other type subtracts.
+     */
+    @Query("select coalesce(sum(case when t.transactionType = 'DepositTransaction' then t.amount else -t.amount end), 0) " +
+            "from Transaction t where t.account.id = :accountId")
+    double sumSignedAmountByAccountId(@Param("accountId") Long accountId);
+}
@@ -66,6 +66,19 @@ public class AccountService {
         return account;
     }
 
+    /**
+     * Returns the current version of an account without loading it. The version is a JPA {@code @Version} that
+     * every posting increments, since it changes the balance and the transactions, so it identifies the state
+     * returned by {@link #getAccount(Account)}.
+     *
+     * @param accountNumber The account number to search for.
+     * @return The account version.
+     * @throws AccountNotFoundException If the account with the specified number is not found.
+     */
+    public long findVersion(String accountNumber) throws AccountNotFoundException {
+        return accountRepository.findVersionByAccountNumber(accountNumber).orElseThrow(AccountNotFoundException::new);
+    }
+
     /**
      * Credits the specified account with the provided deposit transaction.
      *
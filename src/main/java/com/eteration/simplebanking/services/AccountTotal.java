@@ -0,0 +1,23 @@
+package com.eteration.simplebanking.services;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Running net transaction total of a single account, produced by {@link AccountTotalsTask}.
+ */
+@Getter
+class AccountTotal {
+    private final long accountId;
+    private BigDecimal total;
+
+    AccountTotal(long accountId, BigDecimal total) {
+        this.accountId = accountId;
+        this.total = total;
+    }
+
+    void add(BigDecimal amount) {
+        this.total = this.total.add(amount);
+    }
+}
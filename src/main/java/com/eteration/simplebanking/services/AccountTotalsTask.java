@@ -0,0 +1,92 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.repository.TransactionAmountView;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code AccountTotalsTask} computes per-account net transaction totals for a chunk of
+ * transaction rows using fork/join.
+ *
+ * <p>The rows must be ordered by account id. Each leaf produces one {@link AccountTotal} per run of
+ * equal account ids; when two halves are joined, the last run of the left half and the first run
+ * of the right half are merged if they belong to the same account. The result is therefore ordered
+ * by account id and holds at most one entry per account.
+ */
+class AccountTotalsTask extends RecursiveTask<List<AccountTotal>> {
+
+    static final int THRESHOLD = 1_000;
+
+    private final List<TransactionAmountView> rows;
+    private final int from;
+    private final int to;
+
+    AccountTotalsTask(List<TransactionAmountView> rows) {
+        this(rows, 0, rows.size());
+    }
+
+    private AccountTotalsTask(List<TransactionAmountView> rows, int from, int to) {
+        this.rows = rows;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected List<AccountTotal> compute() {
+        if (to - from <= THRESHOLD) {
+            return sequential();
+        }
+        int mid = (from + to) >>> 1;
+        AccountTotalsTask left = new AccountTotalsTask(rows, from, mid);
+        AccountTotalsTask right = new AccountTotalsTask(rows, mid, to);
+        left.fork();
+        List<AccountTotal> rightTotals = right.compute();
+        List<AccountTotal> leftTotals = left.join();
+        return merge(leftTotals, rightTotals);
+    }
+
+    private List<AccountTotal> sequential() {
+        List<AccountTotal> totals = new ArrayList<>();
+        AccountTotal current = null;
+        for (int i = from; i < to; i++) {
+            TransactionAmountView row = rows.get(i);
+            BigDecimal amount = signedAmount(row.getTransactionType(), row.getAmount());
+            if (current != null && current.getAccountId() == row.getAccountId()) {
+                current.add(amount);
+            } else {
+                current = new AccountTotal(row.getAccountId(), amount);
+                totals.add(current);
+            }
+        }
+        return totals;
+    }
+
+    private static List<AccountTotal> merge(List<AccountTotal> left, List<AccountTotal> right) {
+        if (left.isEmpty()) {
+            return right;
+        }
+        if (right.isEmpty()) {
+            return left;
+        }
+        AccountTotal last = left.get(left.size() - 1);
+        int start = 0;
+        if (last.getAccountId() == right.get(0).getAccountId()) {
+            last.add(right.get(0).getTotal());
+            start = 1;
+        }
+        left.addAll(right.subList(start, right.size()));
+        return left;
+    }
+
+    /**
+     * Returns the effect of a transaction on its account's balance: deposits add,
+     * withdrawals and bill payments subtract.
+     */
+    static BigDecimal signedAmount(String transactionType, double amount) {
+        BigDecimal value = BigDecimal.valueOf(amount);
+        return "DepositTransaction".equals(transactionType) ? value : value.negate();
+    }
+}
@@ -0,0 +1,107 @@
+package com.eteration.simplebanking.services;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a long-running job on its own thread, at most one run at a time, and tracks its status and timing.
+ *
+ * <p>Both on-demand and scheduled runs are handed to the job's thread, so a long run never occupies the
+ * shared scheduler thread and delays other schedules.
+ */
+@Slf4j
+class BackgroundJob {
+
+    private final String name;
+    private final ExecutorService launcher;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile String status = "IDLE";
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    BackgroundJob(String name) {
+        this.name = name;
+        this.launcher = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, name));
+    }
+
+    /**
+     * Starts the job in the background.
+     *
+     * @param reset Clears the progress of the previous run; called on the caller's thread once the run is
+     *              claimed and before it is handed off, so reports never mix the new status with old progress.
+     * @param job   The work to run.
+     * @return {@code true} if a run was started, {@code false} if one is already in progress.
+     */
+    boolean start(Runnable reset, Runnable job) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        reset.run();
+        status = "RUNNING";
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        startNanos = System.nanoTime();
+        launcher.execute(() -> runGuarded(job));
+        return true;
+    }
+
+    /**
+     * Starts a scheduled run in the background, skipping it if a run is already in progress.
+     *
+     * @param reset Clears the progress of the previous run, see {@link #start(Runnable, Runnable)}.
+     * @param job   The work to run.
+     */
+    void startScheduled(Runnable reset, Runnable job) {
+        if (!start(reset, job)) {
+            log.info("Skipping scheduled {}, a run is already in progress", name);
+        }
+    }
+
+    String getStatus() {
+        return status;
+    }
+
+    LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Returns the throughput of the current or last run.
+     *
+     * @param count Number of items processed so far.
+     * @return Items per second, or {@code 0} if the job has never run.
+     */
+    double perSecond(long count) {
+        long end = running.get() ? System.nanoTime() : endNanos;
+        double seconds = (end - startNanos) / 1_000_000_000.0;
+        return startedAt == null || seconds <= 0 ? 0 : count / seconds;
+    }
+
+    void shutdown() {
+        launcher.shutdownNow();
+    }
+
+    private void runGuarded(Runnable job) {
+        try {
+            job.run();
+            status = "COMPLETED";
+        } catch (RuntimeException e) {
+            status = "FAILED";
+            log.error("{} failed", name, e);
+        } finally {
+            endNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.eteration.simplebanking.services;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-payee settlement totals.
+ *
+ * <p>Each distinct payee is assigned a dense {@code int} id on first sight and its count and amount (in cents)
+ * are accumulated in primitive arrays indexed by that id, so memory grows with the number of payees only and
+ * a row costs one dictionary lookup and two array updates.
+ */
+class PayeeTotals {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] payees = new String[64];
+    private long[] counts = new long[64];
+    private long[] cents = new long[64];
+    private int size;
+
+    void add(String payee, double amount) {
+        int id = idOf(payee == null ? "" : payee);
+        counts[id]++;
+        cents[id] += Math.round(amount * 100);
+    }
+
+    int size() {
+        return size;
+    }
+
+    String payee(int id) {
+        return payees[id];
+    }
+
+    long count(int id) {
+        return counts[id];
+    }
+
+    long cents(int id) {
+        return cents[id];
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeUTF(payees[i]);
+            out.writeLong(counts[i]);
+            out.writeLong(cents[i]);
+        }
+    }
+
+    static PayeeTotals readFrom(DataInputStream in) throws IOException {
+        PayeeTotals totals = new PayeeTotals();
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            int id = totals.idOf(in.readUTF());
+            totals.counts[id] = in.readLong();
+            totals.cents[id] = in.readLong();
+        }
+        return totals;
+    }
+
+    private int idOf(String payee) {
+        Integer id = ids.get(payee);
+        if (id != null) {
+            return id;
+        }
+        if (size == payees.length) {
+            payees = Arrays.copyOf(payees, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+            cents = Arrays.copyOf(cents, size * 2);
+        }
+        payees[size] = payee;
+        ids.put(payee, size);
+        return size++;
+    }
+}
@@ -0,0 +1,263 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.payloads.BalanceDiscrepancy;
+import com.eteration.simplebanking.payloads.ReconciliationReport;
+import com.eteration.simplebanking.repository.AccountBalanceView;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.TransactionAmountView;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ReconciliationService} verifies that every account balance equals the net sum of its transactions.
+ *
+ * <p>Accounts and transactions are read in keyset-paginated chunks, each in its own short statement, so the job
+ * runs in constant memory and never holds locks across chunks. Transactions are read ordered by account id and
+ * each chunk is reduced to per-account totals on a {@link ForkJoinPool} by {@link AccountTotalsTask}; the totals
+ * are then merge-joined against the account chunks, which are also ordered by id.
+ *
+ * <p>Because balances and transactions are read at different moments, an account posted to while the job runs
+ * may look inconsistent. Every candidate discrepancy is therefore re-checked by reading the balance and the
+ * transaction sum together in a single repeatable-read transaction before it is reported.
+ *
+ * <p>The job can be started on demand via {@link #start()} and runs on the {@code reconciliation.cron} schedule;
+ * both are executed on the job's own thread by {@link BackgroundJob}. Progress and throughput of the current or
+ * last run are available from {@link #getReport()}. The bean is never lazily initialized, otherwise the schedule
+ * would not be registered until the first on-demand run.
+ */
+@Slf4j
+@Service
+@Lazy(false)
+public class ReconciliationService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate recheckTemplate;
+    private final ForkJoinPool forkJoinPool;
+    private final BackgroundJob job = new BackgroundJob("balance-reconciliation");
+    private final int chunkSize;
+    private final int maxReported;
+
+    private final AtomicLong accountsScanned = new AtomicLong();
+    private final AtomicLong transactionsScanned = new AtomicLong();
+    private final AtomicLong discrepancyCount = new AtomicLong();
+    private final List<BalanceDiscrepancy> discrepancies = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a {@code ReconciliationService}.
+     *
+     * @param accountRepository     Repository for account-related database operations.
+     * @param transactionRepository Repository for transaction-related database operations.
+     * @param transactionManager    Transaction manager used to re-check candidate discrepancies.
+     * @param chunkSize             Number of rows read per statement.
+     * @param parallelism           Parallelism of the fork/join pool summing transaction chunks.
+     * @param maxReported           Maximum number of discrepancies kept in the report.
+     */
+    @Autowired
+    public ReconciliationService(AccountRepository accountRepository,
+                                 TransactionRepository transactionRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${reconciliation.chunk-size:10000}") int chunkSize,
+                                 @Value("${reconciliation.parallelism:0}") int parallelism,
+                                 @Value("${reconciliation.max-reported:100}") int maxReported) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.recheckTemplate = new TransactionTemplate(transactionManager);
+        this.recheckTemplate.setReadOnly(true);
+        this.recheckTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+        this.maxReported = maxReported;
+    }
+
+    /**
+     * Starts a reconciliation run in the background.
+     *
+     * @return {@code true} if a run was started, {@code false} if one is already in progress.
+     */
+    public boolean start() {
+        return job.start(this::reset, this::run);
+    }
+
+    /**
+     * Scheduled entry point; skipped if a run is already in progress.
+     */
+    @Scheduled(cron = "${reconciliation.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        job.startScheduled(this::reset, this::run);
+    }
+
+    /**
+     * Returns a snapshot of the progress of the current run, or the result of the last one.
+     *
+     * @return The reconciliation report.
+     */
+    public ReconciliationReport getReport() {
+        return ReconciliationReport.builder()
+                .status(job.getStatus())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .accountsScanned(accountsScanned.get())
+                .transactionsScanned(transactionsScanned.get())
+                .rowsPerSecond(job.perSecond(accountsScanned.get() + transactionsScanned.get()))
+                .discrepancyCount(discrepancyCount.get())
+                .discrepancies(new ArrayList<>(discrepancies))
+                .build();
+    }
+
+    private void reset() {
+        accountsScanned.set(0);
+        transactionsScanned.set(0);
+        discrepancyCount.set(0);
+        discrepancies.clear();
+    }
+
+    void run() {
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        AccountCursor accounts = new AccountCursor(chunk);
+        AccountTotal pending = null;
+        long lastAccountId = 0;
+        long lastTransactionId = 0;
+        List<TransactionAmountView> rows;
+        do {
+            rows = transactionRepository.findAmountsAfter(lastAccountId, lastTransactionId, chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            TransactionAmountView last = rows.get(rows.size() - 1);
+            lastAccountId = last.getAccountId();
+            lastTransactionId = last.getId();
+            transactionsScanned.addAndGet(rows.size());
+
+            // An account's transactions may span chunks, so its total stays pending until a later account appears.
+            for (AccountTotal total : forkJoinPool.invoke(new AccountTotalsTask(rows))) {
+                if (pending != null && pending.getAccountId() == total.getAccountId()) {
+                    pending.add(total.getTotal());
+                } else {
+                    if (pending != null) {
+                        accounts.settle(pending.getAccountId(), pending.getTotal());
+                    }
+                    pending = total;
+                }
+            }
+        } while (rows.size() == chunkSize);
+
+        if (pending != null) {
+            accounts.settle(pending.getAccountId(), pending.getTotal());
+        }
+        accounts.settle(Long.MAX_VALUE, BigDecimal.ZERO);
+
+        log.info("Balance reconciliation finished: {} accounts, {} transactions, {} discrepancies, {} rows/s",
+                accountsScanned.get(), transactionsScanned.get(), discrepancyCount.get(),
+                Math.round(job.perSecond(accountsScanned.get() + transactionsScanned.get())));
+    }
+
+    private void compare(AccountBalanceView account, BigDecimal transactionTotal) {
+        if (toCents(account.getBalance()) == toCents(transactionTotal)) {
+            return;
+        }
+        BalanceDiscrepancy discrepancy = recheckTemplate.execute(tx -> {
+            double balance = accountRepository.findBalanceById(account.getId());
+            double total = transactionRepository.sumSignedAmountByAccountId(account.getId());
+            if (toCents(balance) == toCents(total)) {
+                return null;
+            }
+            return BalanceDiscrepancy.builder()
+                    .accountNumber(account.getAccountNumber())
+                    .balance(balance)
+                    .transactionTotal(total)
+                    .difference(balance - total)
+                    .build();
+        });
+        if (discrepancy == null) {
+            return;
+        }
+        log.warn("Balance discrepancy on account {}: balance {} but transactions total {}",
+                discrepancy.getAccountNumber(), discrepancy.getBalance(), discrepancy.getTransactionTotal());
+        if (discrepancyCount.incrementAndGet() <= maxReported) {
+            discrepancies.add(discrepancy);
+        }
+    }
+
+    /**
+     * Balances are accumulated in {@code double} and summed in a different order by the database, so both
+     * sides are compared at the money scale rather than bit for bit.
+     */
+    static long toCents(double amount) {
+        return toCents(BigDecimal.valueOf(amount));
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        job.shutdown();
+        forkJoinPool.shutdownNow();
+    }
+
+    /**
+     * Walks accounts in id order one chunk at a time, matching them against transaction totals.
+     */
+    private class AccountCursor {
+        private final Pageable chunk;
+        private List<AccountBalanceView> buffer = Collections.emptyList();
+        private int index;
+        private long lastId;
+        private boolean exhausted;
+
+        AccountCursor(Pageable chunk) {
+            this.chunk = chunk;
+        }
+
+        /**
+         * Compares every account up to {@code accountId}: accounts before it have no transactions and must have
+         * a zero balance, the account itself must match {@code total}.
+         */
+        void settle(long accountId, BigDecimal total) {
+            AccountBalanceView account;
+            while ((account = peek()) != null && account.getId() <= accountId) {
+                index++;
+                accountsScanned.incrementAndGet();
+                compare(account, account.getId() == accountId ? total : BigDecimal.ZERO);
+            }
+        }
+
+        private AccountBalanceView peek() {
+            if (index == buffer.size()) {
+                if (exhausted) {
+                    return null;
+                }
+                buffer = accountRepository.findBalancesAfter(lastId, chunk);
+                index = 0;
+                exhausted = buffer.size() < chunk.getPageSize();
+                if (buffer.isEmpty()) {
+                    return null;
+                }
+                lastId = buffer.get(buffer.size() - 1).getId();
+            }
+            return buffer.get(index);
+        }
+    }
+}
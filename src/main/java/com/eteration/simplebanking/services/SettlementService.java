@@ -0,0 +1,273 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.payloads.SettlementReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code SettlementService} nets out a day's bill payments per payee and writes a gzip-compressed settlement file.
+ *
+ * <p>Bill payments are streamed in id order from a server-side cursor (a read-only transaction with a fetch size)
+ * and never materialized as entities. Totals are accumulated in {@link PayeeTotals}, so memory depends on the number
+ * of payees and not on the day's volume.
+ *
+ * <p>Every {@code settlement.checkpoint-interval} rows the last processed id, the row count and the running totals
+ * are written to a checkpoint file; an interrupted run for the same date resumes from it instead of starting over.
+ * The checkpoint is removed once the settlement file has been written.
+ *
+ * <p>The job can be started on demand via {@link #start(LocalDate)} and settles the previous day on the
+ * {@code settlement.cron} schedule; both are executed on the job's own thread by {@link BackgroundJob}. Progress
+ * and throughput are available from {@link #getReport()}.
+ */
+@Slf4j
+@Service
+@Lazy(false)
+public class SettlementService {
+
+    private static final String BILL_PAYMENTS_SQL = "select id, payee, amount from transaction " +
+            "where transaction_type = 'BillPaymentTransaction' and date >= ? and date < ? and id > ? " +
+            "order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate cursorTemplate;
+    private final BackgroundJob job = new BackgroundJob("payee-settlement");
+    private final Path directory;
+    private final long checkpointInterval;
+
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private volatile long resumedRows;
+    private volatile LocalDate settlementDate;
+    private volatile boolean resumed;
+    private volatile int payeeCount;
+    private volatile String file;
+
+    /**
+     * Constructs a {@code SettlementService}.
+     *
+     * @param dataSource         Data source the bill payments are streamed from.
+     * @param transactionManager Transaction manager holding the cursor open.
+     * @param directory          Directory settlement and checkpoint files are written to.
+     * @param fetchSize          Number of rows fetched from the cursor per round trip.
+     * @param checkpointInterval Number of rows between checkpoints.
+     */
+    @Autowired
+    public SettlementService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${settlement.dir:settlements}") String directory,
+                             @Value("${settlement.fetch-size:10000}") int fetchSize,
+                             @Value("${settlement.checkpoint-interval:100000}") long checkpointInterval) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.cursorTemplate = new TransactionTemplate(transactionManager);
+        this.cursorTemplate.setReadOnly(true);
+        this.directory = Paths.get(directory);
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Starts settling the given day in the background.
+     *
+     * @param date The day whose bill payments are settled.
+     * @return {@code true} if a run was started, {@code false} if one is already in progress.
+     */
+    public boolean start(LocalDate date) {
+        return job.start(() -> reset(date), () -> run(date));
+    }
+
+    /**
+     * Scheduled entry point settling the previous day; skipped if a run is already in progress.
+     */
+    @Scheduled(cron = "${settlement.cron:0 30 0 * * *}")
+    public void scheduledRun() {
+        LocalDate date = LocalDate.now().minusDays(1);
+        job.startScheduled(() -> reset(date), () -> run(date));
+    }
+
+    /**
+     * Returns a snapshot of the progress of the current run, or the result of the last one.
+     *
+     * @return The settlement report.
+     */
+    public SettlementReport getReport() {
+        return SettlementReport.builder()
+                .status(job.getStatus())
+                .settlementDate(settlementDate)
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .resumed(resumed)
+                .rowsProcessed(rowsProcessed.get())
+                .rowsPerSecond(job.perSecond(rowsProcessed.get() - resumedRows))
+                .payeeCount(payeeCount)
+                .file(file)
+                .build();
+    }
+
+    private void reset(LocalDate date) {
+        rowsProcessed.set(0);
+        resumedRows = 0;
+        settlementDate = date;
+        resumed = false;
+        payeeCount = 0;
+        file = null;
+    }
+
+    /**
+     * Settles the given day. {@code rowsProcessed} counts every row of the day, including those restored from a
+     * checkpoint; throughput only counts rows read by this run.
+     */
+    void run(LocalDate date) {
+        try {
+            Files.createDirectories(directory);
+            Path checkpoint = directory.resolve("settlement-" + date + ".checkpoint");
+            Path output = directory.resolve("settlement-" + date + ".csv.gz");
+
+            long[] lastId = {0};
+            PayeeTotals restored = Files.exists(checkpoint) ? readCheckpoint(checkpoint, lastId) : null;
+            resumed = restored != null;
+            PayeeTotals totals = resumed ? restored : new PayeeTotals();
+            if (resumed) {
+                rowsProcessed.set(resumedRows);
+                payeeCount = totals.size();
+                log.info("Resuming settlement of {} after transaction id {} ({} rows)", date, lastId[0], resumedRows);
+            }
+
+            streamBillPayments(date, lastId[0], (id, payee, amount) -> {
+                lastId[0] = id;
+                totals.add(payee, amount);
+                payeeCount = totals.size();
+                long rows = rowsProcessed.incrementAndGet();
+                if (rows % checkpointInterval == 0) {
+                    writeCheckpoint(checkpoint, lastId[0], rows, totals);
+                }
+            });
+
+            writeSettlement(output, totals);
+            Files.deleteIfExists(checkpoint);
+            payeeCount = totals.size();
+            file = output.toString();
+            log.info("Settlement of {} finished: {} rows, {} payees, {} rows/s",
+                    date, rowsProcessed.get(), payeeCount,
+                    Math.round(job.perSecond(rowsProcessed.get() - resumedRows)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the bill payments of a day with an id greater than {@code afterId}, in id order, from a
+     * server-side cursor.
+     */
+    void streamBillPayments(LocalDate date, long afterId, BillPaymentHandler handler) {
+        Timestamp from = Timestamp.valueOf(date.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+        cursorTemplate.executeWithoutResult(tx -> jdbcTemplate.query(BILL_PAYMENTS_SQL,
+                rs -> handler.accept(rs.getLong(1), rs.getString(2), rs.getDouble(3)), from, to, afterId));
+    }
+
+    /**
+     * Restores the last processed id, the row count and the totals from a checkpoint. An unreadable checkpoint,
+     * e.g. one cut short by a crash, is deleted and {@code null} is returned so the day is settled from the start.
+     */
+    private PayeeTotals readCheckpoint(Path checkpoint, long[] lastId) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Channels.newInputStream(FileChannel.open(checkpoint))))) {
+            lastId[0] = in.readLong();
+            resumedRows = in.readLong();
+            return PayeeTotals.readFrom(in);
+        } catch (IOException e) {
+            log.warn("Discarding unreadable settlement checkpoint {}, settling the day from the start", checkpoint, e);
+            Files.delete(checkpoint);
+            lastId[0] = 0;
+            resumedRows = 0;
+            return null;
+        }
+    }
+
+    private static void writeCheckpoint(Path checkpoint, long lastId, long rows, PayeeTotals totals) {
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel)));
+                out.writeLong(lastId);
+                out.writeLong(rows);
+                totals.writeTo(out);
+                out.flush();
+                // make the contents durable before the rename publishes them
+                channel.force(true);
+            }
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeSettlement(Path output, PayeeTotals totals) throws IOException {
+        Path tmp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Channels.newOutputStream(
+                FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)), 64 * 1024), StandardCharsets.UTF_8)) {
+            writer.write("payee,count,amount\n");
+            for (int i = 0; i < totals.size(); i++) {
+                writer.write(csv(totals.payee(i)));
+                writer.write(',');
+                writer.write(Long.toString(totals.count(i)));
+                writer.write(',');
+                writer.write(BigDecimal.valueOf(totals.cents(i), 2).toPlainString());
+                writer.write('\n');
+            }
+        }
+        Files.move(tmp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Receives streamed bill payment rows.
+     */
+    interface BillPaymentHandler {
+        void accept(long id, String payee, double amount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        job.shutdown();
+    }
+}
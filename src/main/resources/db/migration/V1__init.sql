@@ -0,0 +1,25 @@
+create sequence if not exists hibernate_sequence start 1 increment 1;
+
+create table if not exists accounts
+(
+    id             int8         not null,
+    account_number varchar(255) not null,
+    balance        float8       not null,
+    created_date   timestamp,
+    owner          varchar(255) not null,
+    primary key (id)
+);
+
+create table if not exists transaction
+(
+    transaction_type varchar(31)                         not null,
+    id               int8                                not null,
+    amount           float8                              not null,
+    approval_code    varchar(255),
+    date             timestamp default current_timestamp not null,
+    payee            varchar(255),
+    phone_number     varchar(255),
+    account_id       int8,
+    primary key (id),
+    constraint fk_transaction_account foreign key (account_id) references accounts
+);
@@ -0,0 +1 @@
+create index if not exists idx_transaction_account_id on transaction (account_id, id);
@@ -0,0 +1 @@
+create index if not exists idx_transaction_type_date on transaction (transaction_type, date);
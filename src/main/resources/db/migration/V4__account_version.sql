@@ -0,0 +1 @@
+alter table accounts add column if not exists version int8 not null default 0;
@@ -6,6 +6,7 @@ import com.eteration.simplebanking.model.Account;
 import com.eteration.simplebanking.model.DepositTransaction;
 import com.eteration.simplebanking.model.InsufficientBalanceException;
 import com.eteration.simplebanking.model.WithdrawalTransaction;
+import com.eteration.simplebanking.payloads.AccountResponse;
 import com.eteration.simplebanking.services.AccountService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -14,10 +15,13 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ContextConfiguration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -76,6 +80,41 @@ class ControllerTests {
         });
     }
 
+    @Test
+    public void givenMatchingETag_GetAccount_thenNotModified()
+            throws Exception {
+        doReturn(3L).when(service).findVersion("17892");
+        ResponseEntity<AccountResponse> result = controller.getAccount("17892", "\"3\"");
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertEquals("\"3\"", result.getHeaders().getETag());
+        assertNull(result.getBody());
+        verify(service, never()).findAccount("17892");
+    }
+
+    @Test
+    public void givenStaleETag_GetAccount_thenReturnJsonWithETag()
+            throws Exception {
+        Account account = new Account("Kerem Karaca", "17892");
+        account.setVersion(4);
+        AccountResponse response = AccountResponse.builder().accountNumber("17892").build();
+
+        doReturn(4L).when(service).findVersion("17892");
+        doReturn(account).when(service).findAccount("17892");
+        doReturn(response).when(service).getAccount(account);
+        ResponseEntity<AccountResponse> result = controller.getAccount("17892", "\"3\"");
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"4\"", result.getHeaders().getETag());
+        assertEquals(response, result.getBody());
+    }
+
+    @Test
+    public void givenConcurrentPosting_thenReturnConflict() {
+        ResponseEntity<TransactionStatus> result = controller.handleConcurrentPosting(
+                new ObjectOptimisticLockingFailureException(Account.class, 1L));
+        assertEquals(HttpStatus.CONFLICT, result.getStatusCode());
+        assertEquals("CONFLICT", result.getBody().getStatus());
+    }
+
     // Başlangıç implementasyonu ile bu test uyuşmuyor
 //    @Test
 //    public void givenId_GetAccount_thenReturnJson()
@@ -84,7 +123,7 @@ class ControllerTests {
 //        Account account = new Account("Kerem Karaca", "17892");
 //
 //        doReturn(account).when(service).findAccount( "17892");
-//        ResponseEntity<AccountResponse> result = controller.getAccount( "17892");
+//        ResponseEntity<AccountResponse> result = controller.getAccount( "17892", null);
 //        verify(service, times(1)).findAccount("17892");
 //        assertEquals(account, result.getBody());
 //    }
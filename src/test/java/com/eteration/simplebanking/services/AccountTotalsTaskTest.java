@@ -0,0 +1,86 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.repository.TransactionAmountView;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AccountTotalsTaskTest {
+
+    static TransactionAmountView row(long id, long accountId, double amount, String transactionType) {
+        return new TransactionAmountView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getAccountId() {
+                return accountId;
+            }
+
+            @Override
+            public double getAmount() {
+                return amount;
+            }
+
+            @Override
+            public String getTransactionType() {
+                return transactionType;
+            }
+        };
+    }
+
+    @Test
+    public void testSequentialChunkSumsPerAccount() {
+        List<TransactionAmountView> rows = Arrays.asList(
+                row(1, 1, 100, "DepositTransaction"),
+                row(2, 1, 40, "WithdrawalTransaction"),
+                row(3, 2, 10.50, "BillPaymentTransaction"),
+                row(4, 3, 5, "DepositTransaction"));
+
+        List<AccountTotal> totals = ForkJoinPool.commonPool().invoke(new AccountTotalsTask(rows));
+
+        assertEquals(3, totals.size());
+        assertEquals(1, totals.get(0).getAccountId());
+        assertEquals(0, new BigDecimal("60").compareTo(totals.get(0).getTotal()));
+        assertEquals(2, totals.get(1).getAccountId());
+        assertEquals(0, new BigDecimal("-10.5").compareTo(totals.get(1).getTotal()));
+        assertEquals(3, totals.get(2).getAccountId());
+        assertEquals(0, new BigDecimal("5").compareTo(totals.get(2).getTotal()));
+    }
+
+    @Test
+    public void testAccountStraddlingForkBoundariesIsMerged() {
+        // 3 * THRESHOLD rows are split into four leaves; account 1 spans the first three of them.
+        int size = 3 * AccountTotalsTask.THRESHOLD;
+        int firstAccountRows = size / 2 + 100;
+        List<TransactionAmountView> rows = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            rows.add(i < firstAccountRows
+                    ? row(i, 1, 1.0, "DepositTransaction")
+                    : row(i, 2, 0.5, "WithdrawalTransaction"));
+        }
+
+        List<AccountTotal> totals = ForkJoinPool.commonPool().invoke(new AccountTotalsTask(rows));
+
+        assertEquals(2, totals.size());
+        assertEquals(1, totals.get(0).getAccountId());
+        assertEquals(0, BigDecimal.valueOf(firstAccountRows).compareTo(totals.get(0).getTotal()));
+        assertEquals(2, totals.get(1).getAccountId());
+        assertEquals(0, BigDecimal.valueOf(-(size - firstAccountRows) * 0.5).compareTo(totals.get(1).getTotal()));
+    }
+
+    @Test
+    public void testSignedAmount() {
+        assertEquals(0, new BigDecimal("10.5").compareTo(AccountTotalsTask.signedAmount("DepositTransaction", 10.5)));
+        assertEquals(0, new BigDecimal("-10.5").compareTo(AccountTotalsTask.signedAmount("WithdrawalTransaction", 10.5)));
+        assertEquals(0, new BigDecimal("-10.5").compareTo(AccountTotalsTask.signedAmount("BillPaymentTransaction", 10.5)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.eteration.simplebanking.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PayeeTotalsTest {
+
+    @Test
+    public void testAddAccumulatesPerPayeeInCents() {
+        PayeeTotals totals = new PayeeTotals();
+        totals.add("Vodafone", 10.50);
+        totals.add("Turkcell", 1.0);
+        totals.add("Vodafone", 0.07);
+        totals.add(null, 3.0);
+
+        assertEquals(3, totals.size());
+        assertEquals("Vodafone", totals.payee(0));
+        assertEquals(2, totals.count(0));
+        assertEquals(1057, totals.cents(0));
+        assertEquals("", totals.payee(2));
+    }
+
+    @Test
+    public void testCheckpointRoundTrip() throws IOException {
+        PayeeTotals totals = new PayeeTotals();
+        // more payees than the initial capacity, so the arrays grow
+        for (int i = 0; i < 100; i++) {
+            totals.add("payee-" + (i % 70), i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        totals.writeTo(new DataOutputStream(bytes));
+        PayeeTotals restored = PayeeTotals.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(totals.size(), restored.size());
+        for (int i = 0; i < totals.size(); i++) {
+            assertEquals(totals.payee(i), restored.payee(i));
+            assertEquals(totals.count(i), restored.count(i));
+            assertEquals(totals.cents(i), restored.cents(i));
+        }
+        restored.add("payee-0", 1.0);
+        assertEquals(totals.size(), restored.size());
+        assertEquals(totals.count(0) + 1, restored.count(0));
+    }
+}
@@ -0,0 +1,108 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.payloads.BalanceDiscrepancy;
+import com.eteration.simplebanking.payloads.ReconciliationReport;
+import com.eteration.simplebanking.repository.AccountBalanceView;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.TransactionAmountView;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.eteration.simplebanking.services.AccountTotalsTaskTest.row;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReconciliationServiceTest {
+
+    private static AccountBalanceView account(long id, double balance) {
+        return new AccountBalanceView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getAccountNumber() {
+                return String.valueOf(id);
+            }
+
+            @Override
+            public double getBalance() {
+                return balance;
+            }
+        };
+    }
+
+    @Test
+    public void testRunReportsOnlyRealDiscrepancies() {
+        List<AccountBalanceView> accounts = Arrays.asList(
+                account(1, 0.1 + 0.2),  // double drift below a cent
+                account(2, 0),          // no transactions, between transaction chunks
+                account(3, 5),          // no transactions but a balance
+                account(4, 15),         // transactions span chunk boundaries
+                account(5, 1));         // balance does not match
+        List<TransactionAmountView> transactions = Arrays.asList(
+                row(10, 1, 0.1, "DepositTransaction"),
+                row(11, 1, 0.2, "DepositTransaction"),
+                row(12, 4, 10, "DepositTransaction"),
+                row(13, 4, 10, "DepositTransaction"),
+                row(14, 4, 5, "WithdrawalTransaction"),
+                row(15, 5, 2, "DepositTransaction"));
+
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        when(accountRepository.findBalancesAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long lastId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return accounts.stream().filter(a -> a.getId() > lastId)
+                    .limit(pageable.getPageSize()).collect(Collectors.toList());
+        });
+        when(accountRepository.findBalanceById(any())).thenAnswer(invocation -> accounts.stream()
+                .filter(a -> a.getId().equals(invocation.getArgument(0))).findFirst().get().getBalance());
+        when(transactionRepository.findAmountsAfter(anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            long accountId = invocation.getArgument(0);
+            long lastId = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return transactions.stream()
+                    .filter(t -> t.getAccountId() > accountId || (t.getAccountId() == accountId && t.getId() > lastId))
+                    .limit(limit).collect(Collectors.toList());
+        });
+        when(transactionRepository.sumSignedAmountByAccountId(any())).thenAnswer(invocation -> transactions.stream()
+                .filter(t -> t.getAccountId().equals(invocation.getArgument(0)))
+                .mapToDouble(t -> AccountTotalsTask.signedAmount(t.getTransactionType(), t.getAmount()).doubleValue())
+                .sum());
+
+        ReconciliationService service = new ReconciliationService(accountRepository, transactionRepository,
+                mock(PlatformTransactionManager.class), 2, 2, 100);
+        try {
+            service.run();
+        } finally {
+            service.shutdown();
+        }
+
+        ReconciliationReport report = service.getReport();
+        assertEquals(5, report.getAccountsScanned());
+        assertEquals(6, report.getTransactionsScanned());
+        assertEquals(2, report.getDiscrepancyCount());
+        assertEquals(Arrays.asList("3", "5"), report.getDiscrepancies().stream()
+                .map(BalanceDiscrepancy::getAccountNumber).collect(Collectors.toList()));
+        assertEquals(5, report.getDiscrepancies().get(0).getDifference(), 0.001);
+        assertEquals(-1, report.getDiscrepancies().get(1).getDifference(), 0.001);
+    }
+
+    @Test
+    public void testToCents() {
+        assertEquals(30, ReconciliationService.toCents(0.1 + 0.2));
+        assertEquals(1050, ReconciliationService.toCents(10.5));
+    }
+}
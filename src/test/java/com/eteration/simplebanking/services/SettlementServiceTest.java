@@ -0,0 +1,148 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.payloads.SettlementReport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class SettlementServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 18);
+
+    /**
+     * Serves bill payments from memory and optionally fails after a number of rows, like an interrupted run.
+     */
+    private static class InMemorySettlementService extends SettlementService {
+        private final List<Object[]> rows;
+        private int failAfter = -1;
+
+        InMemorySettlementService(Path directory, long checkpointInterval, List<Object[]> rows) {
+            super(mock(DataSource.class), mock(PlatformTransactionManager.class), directory.toString(), 100,
+                    checkpointInterval);
+            this.rows = rows;
+        }
+
+        @Override
+        void streamBillPayments(LocalDate date, long afterId, BillPaymentHandler handler) {
+            int served = 0;
+            for (Object[] row : rows) {
+                if ((long) row[0] <= afterId) {
+                    continue;
+                }
+                if (served++ == failAfter) {
+                    throw new IllegalStateException("interrupted");
+                }
+                handler.accept((long) row[0], (String) row[1], (double) row[2]);
+            }
+        }
+    }
+
+    private static List<Object[]> payments(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        String[] payees = {"Vodafone", "Turkcell", "Enerjisa", "IGDAS"};
+        for (long id = 1; id <= count; id++) {
+            rows.add(new Object[]{id, payees[(int) (id % payees.length)], id * 1.25});
+        }
+        return rows;
+    }
+
+    private static List<String> readSettlement(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testResumeAfterInterruptionMatchesUninterruptedRun(@TempDir Path tmp) throws IOException {
+        List<Object[]> rows = payments(23);
+        Path uninterruptedDir = tmp.resolve("uninterrupted");
+        Path resumedDir = tmp.resolve("resumed");
+
+        InMemorySettlementService uninterrupted = new InMemorySettlementService(uninterruptedDir, 5, rows);
+        uninterrupted.run(DATE);
+        uninterrupted.shutdown();
+        assertEquals(23, uninterrupted.getReport().getRowsProcessed());
+
+        InMemorySettlementService resumed = new InMemorySettlementService(resumedDir, 5, rows);
+        resumed.failAfter = 12;
+        Assertions.assertThrows(IllegalStateException.class, () -> resumed.run(DATE));
+        assertTrue(Files.exists(resumedDir.resolve("settlement-" + DATE + ".checkpoint")));
+
+        resumed.failAfter = -1;
+        resumed.run(DATE);
+        resumed.shutdown();
+        SettlementReport report = resumed.getReport();
+
+        assertTrue(report.isResumed());
+        // the checkpoint was taken after row 10, so rows 11 and 12 are read again but counted once
+        assertEquals(23, report.getRowsProcessed());
+        assertEquals(4, report.getPayeeCount());
+        assertFalse(Files.exists(resumedDir.resolve("settlement-" + DATE + ".checkpoint")));
+        assertEquals(readSettlement(uninterruptedDir.resolve("settlement-" + DATE + ".csv.gz")),
+                readSettlement(resumedDir.resolve("settlement-" + DATE + ".csv.gz")));
+    }
+
+    @Test
+    public void testTruncatedCheckpointIsDiscarded(@TempDir Path tmp) throws IOException {
+        List<Object[]> rows = payments(7);
+        Path checkpoint = tmp.resolve("settlement-" + DATE + ".checkpoint");
+        Files.write(checkpoint, new byte[]{0, 0, 0});
+
+        InMemorySettlementService service = new InMemorySettlementService(tmp, 5, rows);
+        service.run(DATE);
+        service.shutdown();
+        SettlementReport report = service.getReport();
+
+        assertFalse(report.isResumed());
+        assertEquals(7, report.getRowsProcessed());
+        assertFalse(Files.exists(checkpoint));
+        assertTrue(Files.exists(tmp.resolve("settlement-" + DATE + ".csv.gz")));
+    }
+
+    @Test
+    public void testSettlementFileFormatting(@TempDir Path tmp) throws IOException {
+        List<Object[]> rows = Arrays.asList(
+                new Object[]{1L, "Vodafone", 10.50},
+                new Object[]{2L, "Acme, Inc.", 1.0},
+                new Object[]{3L, "Vodafone", 0.07},
+                new Object[]{4L, "Say \"hi\"", 2.0});
+        InMemorySettlementService service = new InMemorySettlementService(tmp, 100, rows);
+        service.run(DATE);
+        service.shutdown();
+
+        assertEquals(Arrays.asList(
+                "payee,count,amount",
+                "Vodafone,2,10.57",
+                "\"Acme, Inc.\",1,1.00",
+                "\"Say \"\"hi\"\"\",1,2.00"), readSettlement(tmp.resolve("settlement-" + DATE + ".csv.gz")));
+    }
+
+    @Test
+    public void testCsvQuoting() {
+        assertEquals("Vodafone", SettlementService.csv("Vodafone"));
+        assertEquals("\"a,b\"", SettlementService.csv("a,b"));
+        assertEquals("\"a\"\"b\"", SettlementService.csv("a\"b"));
+        assertEquals("\"a\nb\"", SettlementService.csv("a\nb"));
+    }
+}